@@ -1,26 +1,61 @@
 package com.happysathya.moneytransfer;
 
 import com.happysathya.moneytransfer.domain.Account;
+import com.happysathya.moneytransfer.domain.AccountIdGenerator;
+import com.happysathya.moneytransfer.domain.Hold;
 import com.happysathya.moneytransfer.dto.AccountRequest;
 import com.happysathya.moneytransfer.dto.AccountResponse;
 import com.happysathya.moneytransfer.dto.DepositRequest;
 import com.happysathya.moneytransfer.dto.ErrorResponse;
+import com.happysathya.moneytransfer.dto.HoldRequest;
+import com.happysathya.moneytransfer.dto.HoldResponse;
+import com.happysathya.moneytransfer.dto.ScheduledTransferRequest;
+import com.happysathya.moneytransfer.dto.ScheduledTransferResponse;
 import com.happysathya.moneytransfer.dto.TransferRequest;
 import com.happysathya.moneytransfer.dto.WithdrawRequest;
+import com.happysathya.moneytransfer.scheduling.ScheduledTransfer;
+import com.happysathya.moneytransfer.scheduling.TimingWheel;
+import com.happysathya.moneytransfer.scheduling.TransferScheduler;
 import io.javalin.http.Context;
+import io.javalin.plugin.json.JavalinJackson;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.math.BigDecimal;
-import java.util.ArrayList;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Period;
+import java.util.NavigableMap;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.stream.Collectors;
 
 import static com.happysathya.moneytransfer.domain.Account.AccountBuilder;
 
 public class AccountController {
 
-    private List<Account> accounts = new ArrayList<>();
+    private static final Duration DEFAULT_HOLD_EXPIRY = Duration.ofDays(7);
+    private static final Duration MAX_HOLD_EXPIRY = Duration.ofDays(30);
+
+    private ConcurrentSkipListMap<UUID, Account> accounts = new ConcurrentSkipListMap<>();
+    private AccountIdGenerator accountIdGenerator;
+    private TimingWheel holdExpiryWheel;
+    private TransferScheduler transferScheduler;
+
+    public AccountController(AccountIdGenerator accountIdGenerator, TimingWheel holdExpiryWheel, TransferScheduler transferScheduler) {
+        this.accountIdGenerator = accountIdGenerator;
+        this.holdExpiryWheel = holdExpiryWheel;
+        this.transferScheduler = transferScheduler;
+    }
 
     private static void logException(RuntimeException ex) {
         System.out.println(ex.getMessage());
@@ -31,21 +66,56 @@ public class AccountController {
         Account account = new AccountBuilder()
                 .setAccountHolderName(accountRequest.getAccountHolderName())
                 .setBalance(new BigDecimal(0))
+                .setAccountIdGenerator(accountIdGenerator)
                 .build();
-        accounts.add(account);
+        accounts.put(account.getAccountId(), account);
         context.json(mapToAccountResponse(account));
     }
 
+    public void importAccounts(Context context) {
+        handle(() -> {
+            AccountImporter accountImporter = new AccountImporter(JavalinJackson.getObjectMapper(), accountIdGenerator,
+                    importedAccounts -> importedAccounts.forEach(account -> accounts.put(account.getAccountId(), account)));
+            context.res.setContentType("application/x-ndjson");
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(context.req.getInputStream(), StandardCharsets.UTF_8));
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(context.res.getOutputStream(), StandardCharsets.UTF_8))) {
+                accountImporter.importAccounts(reader, AccountImporter.isCsv(context.req.getContentType()), writer);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }, context);
+    }
+
     private AccountResponse mapToAccountResponse(Account account) {
         return new AccountResponse(account.getAccountId().toString(),
                 account.getAccountHolderName(),
-                account.getBalance());
+                account.getBalance(),
+                account.getAvailableBalance());
     }
 
     public void getAccounts(Context context) {
-        context.json(accounts.stream()
-                .map(this::mapToAccountResponse)
-                .collect(Collectors.toList()));
+        handle(() -> {
+            String after = context.queryParam("after");
+            String limit = context.queryParam("limit");
+            NavigableMap<UUID, Account> page = after == null
+                    ? accounts
+                    : accounts.tailMap(parseId(after).orElseThrow(() ->
+                    new IllegalStateException(String.format("Account id %s is not valid", after))), false);
+            context.json(page.values().stream()
+                    .limit(limit == null ? Long.MAX_VALUE : parseLimit(limit))
+                    .map(this::mapToAccountResponse)
+                    .collect(Collectors.toList()));
+        }, context);
+    }
+
+    private static long parseLimit(String limit) {
+        try {
+            long parsedLimit = Long.parseLong(limit);
+            if (parsedLimit > 0)
+                return parsedLimit;
+        } catch (NumberFormatException ignored) {
+        }
+        throw new IllegalStateException(String.format("Limit %s must be a positive number", limit));
     }
 
     public void getAccount(Context context) {
@@ -56,9 +126,7 @@ public class AccountController {
 
     @NotNull
     private Optional<Account> findAccount(String accountId) {
-        return accounts.stream()
-                .filter(account -> account.getAccountId().toString().equals(accountId))
-                .findFirst();
+        return parseId(accountId).map(accounts::get);
     }
 
     public void depositAmount(Context context) {
@@ -101,6 +169,134 @@ public class AccountController {
         }, context);
     }
 
+    public void placeHold(Context context) {
+        handle(() -> {
+            String accountId = context.pathParam("accountId");
+            findAccount(accountId)
+                    .ifPresentOrElse(account -> {
+                        HoldRequest holdRequest = context.bodyAsClass(HoldRequest.class);
+                        Duration expiresIn = holdRequest.getExpiresInSeconds() == null
+                                ? DEFAULT_HOLD_EXPIRY
+                                : Duration.ofSeconds(holdRequest.getExpiresInSeconds());
+                        if (expiresIn.compareTo(MAX_HOLD_EXPIRY) > 0)
+                            throw new IllegalStateException(String.format("Hold expiry cannot be more than %s days", MAX_HOLD_EXPIRY.toDays()));
+                        Hold hold = account.placeHold(holdRequest.getAmount(), expiresIn, holdExpiryWheel);
+                        context.json(new HoldResponse(hold.getHoldId().toString(),
+                                account.getAccountId().toString(),
+                                hold.getAmount(),
+                                hold.getExpiresAt().toString()));
+                    }, () -> context.status(404));
+        }, context);
+    }
+
+    public void captureHold(Context context) {
+        handle(() -> {
+            String accountId = context.pathParam("accountId");
+            findAccount(accountId)
+                    .ifPresentOrElse(account -> parseId(context.pathParam("holdId"))
+                            .ifPresentOrElse(holdId -> {
+                                account.captureHold(holdId);
+                                context.json(mapToAccountResponse(account));
+                            }, () -> context.status(404)), () -> context.status(404));
+        }, context);
+    }
+
+    public void releaseHold(Context context) {
+        handle(() -> {
+            String accountId = context.pathParam("accountId");
+            findAccount(accountId)
+                    .ifPresentOrElse(account -> parseId(context.pathParam("holdId"))
+                            .ifPresentOrElse(holdId -> {
+                                account.releaseHold(holdId);
+                                context.json(mapToAccountResponse(account));
+                            }, () -> context.status(404)), () -> context.status(404));
+        }, context);
+    }
+
+    public void scheduleTransfer(Context context) {
+        handle(() -> {
+            String accountId = context.pathParam("accountId");
+            findAccount(accountId)
+                    .ifPresentOrElse(account -> {
+                        ScheduledTransferRequest request = context.bodyAsClass(ScheduledTransferRequest.class);
+                        findAccount(request.getToAccountId())
+                                .ifPresentOrElse(toAccount -> {
+                                    ScheduledTransfer scheduledTransfer = transferScheduler.schedule(account, toAccount, request.getAmount(),
+                                            parseInstant(request.getExecuteAt()), parsePeriod(request.getRepeatEvery()));
+                                    context.json(mapToScheduledTransferResponse(scheduledTransfer));
+                                }, () -> context.status(404));
+                    }, () -> context.status(404));
+        }, context);
+    }
+
+    public void getScheduledTransfers(Context context) {
+        String accountId = context.pathParam("accountId");
+        findAccount(accountId)
+                .ifPresentOrElse(account -> context.json(transferScheduler.findByAccount(account).stream()
+                        .map(this::mapToScheduledTransferResponse)
+                        .collect(Collectors.toList())), () -> context.status(404));
+    }
+
+    public void cancelScheduledTransfer(Context context) {
+        handle(() -> {
+            String accountId = context.pathParam("accountId");
+            findAccount(accountId)
+                    .ifPresentOrElse(account -> parseId(context.pathParam("scheduledTransferId"))
+                            .flatMap(transferScheduler::find)
+                            .filter(scheduledTransfer -> scheduledTransfer.getFromAccount() == account)
+                            .ifPresentOrElse(scheduledTransfer -> context.json(mapToScheduledTransferResponse(
+                                    transferScheduler.cancel(scheduledTransfer.getScheduledTransferId()))),
+                                    () -> context.status(404)), () -> context.status(404));
+        }, context);
+    }
+
+    private ScheduledTransferResponse mapToScheduledTransferResponse(ScheduledTransfer scheduledTransfer) {
+        return new ScheduledTransferResponse(scheduledTransfer.getScheduledTransferId().toString(),
+                scheduledTransfer.getFromAccount().getAccountId().toString(),
+                scheduledTransfer.getToAccount().getAccountId().toString(),
+                scheduledTransfer.getAmount(),
+                scheduledTransfer.getNextExecutionAt().toString(),
+                scheduledTransfer.getRepeatEvery() == null ? null : scheduledTransfer.getRepeatEvery().toString(),
+                scheduledTransfer.getStatus().name(),
+                scheduledTransfer.getAttempts(),
+                scheduledTransfer.getLastError());
+    }
+
+    private static Instant parseInstant(String instant) {
+        try {
+            return instant == null ? null : Instant.parse(instant);
+        } catch (DateTimeException ex) {
+            throw new IllegalStateException(String.format("Execution time %s is not an ISO-8601 instant", instant));
+        }
+    }
+
+    private static Period parsePeriod(String period) {
+        try {
+            return period == null ? null : Period.parse(period);
+        } catch (DateTimeException ex) {
+            throw new IllegalStateException(String.format("Repeat interval %s is not an ISO-8601 period", period));
+        }
+    }
+
+    /**
+     * Parses only the canonical 36 character form; {@link UUID#fromString} alone would also accept
+     * short forms such as {@code 0-0-0-0-1} or signed groups such as {@code +0000000} for the same id.
+     */
+    private static Optional<UUID> parseId(String id) {
+        if (id == null || id.length() != 36)
+            return Optional.empty();
+        for (int i = 0; i < id.length(); i++) {
+            boolean hyphenPosition = i == 8 || i == 13 || i == 18 || i == 23;
+            if (hyphenPosition ? id.charAt(i) != '-' : !isHexDigit(id.charAt(i)))
+                return Optional.empty();
+        }
+        return Optional.of(UUID.fromString(id));
+    }
+
+    private static boolean isHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
+    }
+
     private void handle(Runnable runnable, Context context) {
         try {
             runnable.run();
@@ -0,0 +1,217 @@
+package com.happysathya.moneytransfer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.happysathya.moneytransfer.domain.Account;
+import com.happysathya.moneytransfer.domain.AccountIdGenerator;
+import com.happysathya.moneytransfer.dto.AccountImportResult;
+import com.happysathya.moneytransfer.dto.AccountImportRow;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import static com.happysathya.moneytransfer.domain.Account.AccountBuilder;
+
+/**
+ * Imports accounts from NDJSON or CSV line by line. Lines are read in batches, each batch is
+ * validated in parallel, the accepted accounts are handed over in one call and the per-row
+ * results are written out before the next batch is read, so the payload is never held in memory.
+ */
+public class AccountImporter {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String NAME_COLUMN = "accountHolderName";
+    private static final String BALANCE_COLUMN = "balance";
+
+    private final ObjectMapper objectMapper;
+    private final AccountIdGenerator accountIdGenerator;
+    private final Consumer<List<Account>> accountsConsumer;
+
+    public AccountImporter(ObjectMapper objectMapper, AccountIdGenerator accountIdGenerator, Consumer<List<Account>> accountsConsumer) {
+        this.objectMapper = objectMapper;
+        this.accountIdGenerator = accountIdGenerator;
+        this.accountsConsumer = accountsConsumer;
+    }
+
+    public static boolean isCsv(String contentType) {
+        return contentType != null && contentType.toLowerCase().startsWith("text/csv");
+    }
+
+    public void importAccounts(BufferedReader reader, boolean csv, Writer writer) throws IOException {
+        List<Line> batch = new ArrayList<>(BATCH_SIZE);
+        CsvColumns csvColumns = null;
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank())
+                continue;
+            if (csv && csvColumns == null) {
+                csvColumns = CsvColumns.fromHeader(line);
+                if (csvColumns != null)
+                    continue;
+                csvColumns = CsvColumns.DEFAULT;
+            }
+            batch.add(new Line(lineNumber, line));
+            if (batch.size() == BATCH_SIZE) {
+                importBatch(batch, csvColumns, writer);
+                batch = new ArrayList<>(BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty())
+            importBatch(batch, csvColumns, writer);
+        writer.flush();
+    }
+
+    private void importBatch(List<Line> batch, CsvColumns csvColumns, Writer writer) throws IOException {
+        List<RowOutcome> outcomes = batch.parallelStream()
+                .map(line -> importLine(line, csvColumns))
+                .collect(Collectors.toList());
+        accountsConsumer.accept(outcomes.stream()
+                .map(outcome -> outcome.account)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList()));
+        for (RowOutcome outcome : outcomes) {
+            writer.write(objectMapper.writeValueAsString(outcome.result));
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private RowOutcome importLine(Line line, CsvColumns csvColumns) {
+        try {
+            AccountImportRow row = csvColumns != null
+                    ? csvColumns.toRow(parseCsvFields(line.content))
+                    : objectMapper.readValue(line.content, AccountImportRow.class);
+            if (row == null)
+                return new RowOutcome(null, AccountImportResult.rejected(line.number, "Row is not a valid JSON object"));
+            Account account = new AccountBuilder()
+                    .setAccountHolderName(row.getAccountHolderName())
+                    .setBalance(row.getBalance() == null ? new BigDecimal(0) : row.getBalance())
+                    .setAccountIdGenerator(accountIdGenerator)
+                    .build();
+            return new RowOutcome(account, AccountImportResult.created(line.number, account.getAccountId().toString()));
+        } catch (IllegalStateException ex) {
+            return new RowOutcome(null, AccountImportResult.rejected(line.number, ex.getMessage()));
+        } catch (NumberFormatException ex) {
+            return new RowOutcome(null, AccountImportResult.rejected(line.number, "Account balance is not a valid amount"));
+        } catch (JsonProcessingException ex) {
+            return new RowOutcome(null, AccountImportResult.rejected(line.number, "Row is not a valid JSON object"));
+        } catch (RuntimeException ex) {
+            return new RowOutcome(null, AccountImportResult.rejected(line.number, "Row could not be imported"));
+        }
+    }
+
+    /**
+     * Splits one CSV record into fields following RFC 4180 quoting: a quoted field may contain
+     * commas and doubled quotes. Quoted line breaks are not supported, as records are read per line.
+     */
+    private static List<String> parseCsvFields(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        int i = 0;
+        while (true) {
+            if (i < line.length() && line.charAt(i) == '"') {
+                i++;
+                while (true) {
+                    if (i >= line.length())
+                        throw new IllegalStateException("Row has an unterminated quoted field");
+                    char c = line.charAt(i++);
+                    if (c != '"') {
+                        field.append(c);
+                    } else if (i < line.length() && line.charAt(i) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        break;
+                    }
+                }
+                if (i < line.length() && line.charAt(i) != ',')
+                    throw new IllegalStateException("Row has characters after a closing quote");
+            } else {
+                while (i < line.length() && line.charAt(i) != ',') {
+                    if (line.charAt(i) == '"')
+                        throw new IllegalStateException("Row has a quote inside an unquoted field");
+                    field.append(line.charAt(i++));
+                }
+            }
+            fields.add(field.toString().trim());
+            field.setLength(0);
+            if (i >= line.length())
+                return fields;
+            i++;
+        }
+    }
+
+    private static class CsvColumns {
+
+        private static final CsvColumns DEFAULT = new CsvColumns(0, 1);
+
+        private final int nameIndex;
+        private final int balanceIndex;
+
+        private CsvColumns(int nameIndex, int balanceIndex) {
+            this.nameIndex = nameIndex;
+            this.balanceIndex = balanceIndex;
+        }
+
+        /**
+         * @return the column positions named by the header, or null if the line is not a header
+         */
+        private static CsvColumns fromHeader(String line) {
+            List<String> columns;
+            try {
+                columns = parseCsvFields(line);
+            } catch (IllegalStateException ex) {
+                return null;
+            }
+            int nameIndex = -1;
+            int balanceIndex = -1;
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).equalsIgnoreCase(NAME_COLUMN))
+                    nameIndex = i;
+                else if (columns.get(i).equalsIgnoreCase(BALANCE_COLUMN))
+                    balanceIndex = i;
+            }
+            return nameIndex < 0 ? null : new CsvColumns(nameIndex, balanceIndex);
+        }
+
+        private AccountImportRow toRow(List<String> fields) {
+            AccountImportRow row = new AccountImportRow();
+            if (nameIndex < fields.size())
+                row.setAccountHolderName(fields.get(nameIndex));
+            if (balanceIndex >= 0 && balanceIndex < fields.size() && !fields.get(balanceIndex).isEmpty())
+                row.setBalance(new BigDecimal(fields.get(balanceIndex)));
+            return row;
+        }
+    }
+
+    private static class Line {
+
+        private final long number;
+        private final String content;
+
+        private Line(long number, String content) {
+            this.number = number;
+            this.content = content;
+        }
+    }
+
+    private static class RowOutcome {
+
+        private final Account account;
+        private final AccountImportResult result;
+
+        private RowOutcome(Account account, AccountImportResult result) {
+            this.account = account;
+            this.result = result;
+        }
+    }
+}
@@ -1,8 +1,17 @@
 package com.happysathya.moneytransfer;
 
+import com.happysathya.moneytransfer.domain.AccountIdGenerator;
+import com.happysathya.moneytransfer.scheduling.TimingWheel;
+import com.happysathya.moneytransfer.scheduling.TransferScheduler;
 import io.javalin.Javalin;
 import io.javalin.plugin.json.JavalinJackson;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static io.javalin.apibuilder.ApiBuilder.delete;
 import static io.javalin.apibuilder.ApiBuilder.get;
 import static io.javalin.apibuilder.ApiBuilder.path;
 import static io.javalin.apibuilder.ApiBuilder.post;
@@ -15,15 +24,28 @@ public class Application {
     }
 
     public Javalin registerRoutesAndStartApp(int port) {
-        AccountController accountController = new AccountController();
+        ExecutorService timingWheelWorkers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), runnable -> {
+            Thread thread = new Thread(runnable, "timing-wheel-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        TimingWheel timingWheel = new TimingWheel(Duration.ofMillis(100), timingWheelWorkers).start();
+        TransferScheduler transferScheduler = new TransferScheduler(timingWheel, Clock.systemUTC(), 3, Duration.ofMinutes(10));
+        AccountController accountController = new AccountController(AccountIdGenerator.timeOrdered(), timingWheel, transferScheduler);
 
         JavalinJackson.configure(JavalinJackson.getObjectMapper());
         return Javalin.create(config -> {
             config.defaultContentType = "application/json";
+        }).events(event -> {
+            event.serverStopped(timingWheel::close);
+            event.serverStopped(timingWheelWorkers::shutdown);
         }).routes(() -> {
             path("accounts", () -> {
                 get(accountController::getAccounts);
                 post(accountController::createNewAccount);
+                path("import", () -> {
+                    post(accountController::importAccounts);
+                });
                 path(":accountId", () -> {
                     get(accountController::getAccount);
                     path("deposit", () -> {
@@ -35,6 +57,24 @@ public class Application {
                     path("transfer", () -> {
                         post(accountController::transferAmount);
                     });
+                    path("scheduled-transfers", () -> {
+                        get(accountController::getScheduledTransfers);
+                        post(accountController::scheduleTransfer);
+                        path(":scheduledTransferId", () -> {
+                            delete(accountController::cancelScheduledTransfer);
+                        });
+                    });
+                    path("holds", () -> {
+                        post(accountController::placeHold);
+                        path(":holdId", () -> {
+                            path("capture", () -> {
+                                post(accountController::captureHold);
+                            });
+                            path("release", () -> {
+                                post(accountController::releaseHold);
+                            });
+                        });
+                    });
                 });
             });
         }).start(port);
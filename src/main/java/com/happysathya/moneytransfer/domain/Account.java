@@ -1,7 +1,13 @@
 package com.happysathya.moneytransfer.domain;
 
+import com.happysathya.moneytransfer.scheduling.TimingWheel;
+
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -10,13 +16,17 @@ public class Account {
     private UUID accountId;
     private String accountHolderName;
     private BigDecimal balance;
+    private BigDecimal heldAmount;
+    private Map<UUID, Hold> holds;
     private ReentrantLock reentrantLock;
 
     private Account(AccountBuilder accountBuilder) {
-        accountId = UUID.randomUUID();
+        accountId = accountBuilder.accountIdGenerator.nextId();
         reentrantLock = new ReentrantLock();
         accountHolderName = accountBuilder.accountHolderName;
         balance = accountBuilder.balance;
+        heldAmount = new BigDecimal(0);
+        holds = new HashMap<>();
     }
 
     private static void validate(Account account) {
@@ -57,6 +67,15 @@ public class Account {
         }
     }
 
+    public BigDecimal getAvailableBalance() {
+        reentrantLock.lock();
+        try {
+            return balance.subtract(heldAmount);
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
     public BigDecimal depositAmount(BigDecimal amount) {
         validatePositiveAmount(amount);
         try {
@@ -73,8 +92,8 @@ public class Account {
         validatePositiveAmount(amount);
         try {
             reentrantLock.lock();
-            if (getBalance().compareTo(amount) < 0)
-                throw new IllegalStateException(String.format("Withdrawal amount %s is greater than balance %s", rounded(amount), rounded(balance)));
+            if (getAvailableBalance().compareTo(amount) < 0)
+                throw new IllegalStateException(String.format("Withdrawal amount %s is greater than balance %s", rounded(amount), rounded(getAvailableBalance())));
             logEvent("WITHDRAW", this, amount);
             balance = getBalance().subtract(amount);
             return balance;
@@ -88,10 +107,78 @@ public class Account {
         toAccount.depositAmount(amount);
     }
 
+    public Hold placeHold(BigDecimal amount, Duration expiresIn, TimingWheel expiryWheel) {
+        validatePositiveAmount(amount);
+        if (expiresIn.isNegative() || expiresIn.isZero())
+            throw new IllegalStateException("Hold expiry must be in the future");
+        try {
+            reentrantLock.lock();
+            if (getAvailableBalance().compareTo(amount) < 0)
+                throw new IllegalStateException(String.format("Hold amount %s is greater than balance %s", rounded(amount), rounded(getAvailableBalance())));
+            UUID holdId = UUID.randomUUID();
+            Instant expiresAt = Instant.now().plus(expiresIn);
+            TimingWheel.Timeout expiry = expiryWheel.schedule(expiresIn, () -> expireHold(holdId));
+            Hold hold = new Hold(holdId, amount, expiresAt);
+            hold.setExpiry(expiry);
+            holds.put(holdId, hold);
+            heldAmount = heldAmount.add(amount);
+            logEvent("HOLD", this, amount);
+            return hold;
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    public BigDecimal captureHold(UUID holdId) {
+        try {
+            reentrantLock.lock();
+            Hold hold = removeHold(holdId);
+            logEvent("CAPTURE", this, hold.getAmount());
+            balance = balance.subtract(hold.getAmount());
+            return balance;
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    public BigDecimal releaseHold(UUID holdId) {
+        try {
+            reentrantLock.lock();
+            Hold hold = removeHold(holdId);
+            logEvent("RELEASE", this, hold.getAmount());
+            return balance;
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    private void expireHold(UUID holdId) {
+        try {
+            reentrantLock.lock();
+            Hold hold = holds.remove(holdId);
+            if (hold != null) {
+                heldAmount = heldAmount.subtract(hold.getAmount());
+                logEvent("EXPIRE", this, hold.getAmount());
+            }
+        } finally {
+            reentrantLock.unlock();
+        }
+    }
+
+    private Hold removeHold(UUID holdId) {
+        Hold hold = holds.remove(holdId);
+        if (hold == null)
+            throw new IllegalStateException(String.format("Hold %s does not exist or has expired", holdId));
+        hold.cancelExpiry();
+        heldAmount = heldAmount.subtract(hold.getAmount());
+        return hold;
+    }
+
     public static class AccountBuilder {
 
         private String accountHolderName;
         private BigDecimal balance;
+        private AccountIdGenerator accountIdGenerator = AccountIdGenerator.random();
 
         public AccountBuilder setAccountHolderName(String accountHolderName) {
             this.accountHolderName = accountHolderName;
@@ -103,6 +190,11 @@ public class Account {
             return this;
         }
 
+        public AccountBuilder setAccountIdGenerator(AccountIdGenerator accountIdGenerator) {
+            this.accountIdGenerator = accountIdGenerator;
+            return this;
+        }
+
         public Account build() {
             Account account = new Account(this);
             validate(account);
@@ -0,0 +1,23 @@
+package com.happysathya.moneytransfer.domain;
+
+import java.util.UUID;
+
+@FunctionalInterface
+public interface AccountIdGenerator {
+
+    UUID nextId();
+
+    /**
+     * Random (version 4) ids backed by the shared {@link java.security.SecureRandom}.
+     */
+    static AccountIdGenerator random() {
+        return UUID::randomUUID;
+    }
+
+    /**
+     * Time-ordered (version 7) ids, see {@link TimeOrderedAccountIdGenerator}.
+     */
+    static AccountIdGenerator timeOrdered() {
+        return new TimeOrderedAccountIdGenerator();
+    }
+}
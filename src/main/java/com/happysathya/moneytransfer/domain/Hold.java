@@ -0,0 +1,42 @@
+package com.happysathya.moneytransfer.domain;
+
+import com.happysathya.moneytransfer.scheduling.TimingWheel;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public class Hold {
+
+    private UUID holdId;
+    private BigDecimal amount;
+    private Instant expiresAt;
+    private TimingWheel.Timeout expiry;
+
+    Hold(UUID holdId, BigDecimal amount, Instant expiresAt) {
+        this.holdId = holdId;
+        this.amount = amount;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getHoldId() {
+        return holdId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    void setExpiry(TimingWheel.Timeout expiry) {
+        this.expiry = expiry;
+    }
+
+    void cancelExpiry() {
+        if (expiry != null)
+            expiry.cancel();
+    }
+}
@@ -0,0 +1,36 @@
+package com.happysathya.moneytransfer.domain;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates version 7 UUIDs: a 48 bit unix millisecond timestamp, a 12 bit per-thread sequence and
+ * 62 random bits from {@link ThreadLocalRandom}. Every thread keeps its own clock and sequence, so
+ * there is no shared state to contend on; ids from one thread are strictly increasing and ids from
+ * different threads sort by creation millisecond.
+ */
+public class TimeOrderedAccountIdGenerator implements AccountIdGenerator {
+
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_SEQUENCE = (1L << SEQUENCE_BITS) - 1;
+
+    private final ThreadLocal<long[]> lastMillisAndSequence = ThreadLocal.withInitial(() -> new long[2]);
+
+    @Override
+    public UUID nextId() {
+        long[] state = lastMillisAndSequence.get();
+        long millis = System.currentTimeMillis();
+        if (millis > state[0]) {
+            state[0] = millis;
+            state[1] = 0;
+        } else if (state[1] < MAX_SEQUENCE) {
+            state[1]++;
+        } else {
+            state[0]++;
+            state[1] = 0;
+        }
+        long mostSignificantBits = (state[0] << 16) | (0x7L << SEQUENCE_BITS) | state[1];
+        long leastSignificantBits = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificantBits, leastSignificantBits);
+    }
+}
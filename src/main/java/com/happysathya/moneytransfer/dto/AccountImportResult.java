@@ -0,0 +1,43 @@
+package com.happysathya.moneytransfer.dto;
+
+public class AccountImportResult {
+
+    private long lineNumber;
+    private String status;
+    private String accountId;
+    private String errorMessage;
+
+    private AccountImportResult() {
+    }
+
+    private AccountImportResult(long lineNumber, String status, String accountId, String errorMessage) {
+        this.lineNumber = lineNumber;
+        this.status = status;
+        this.accountId = accountId;
+        this.errorMessage = errorMessage;
+    }
+
+    public static AccountImportResult created(long lineNumber, String accountId) {
+        return new AccountImportResult(lineNumber, "CREATED", accountId, null);
+    }
+
+    public static AccountImportResult rejected(long lineNumber, String errorMessage) {
+        return new AccountImportResult(lineNumber, "REJECTED", null, errorMessage);
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
@@ -0,0 +1,25 @@
+package com.happysathya.moneytransfer.dto;
+
+import java.math.BigDecimal;
+
+public class AccountImportRow {
+
+    private String accountHolderName;
+    private BigDecimal balance;
+
+    public String getAccountHolderName() {
+        return accountHolderName;
+    }
+
+    public BigDecimal getBalance() {
+        return balance;
+    }
+
+    public void setAccountHolderName(String accountHolderName) {
+        this.accountHolderName = accountHolderName;
+    }
+
+    public void setBalance(BigDecimal balance) {
+        this.balance = balance;
+    }
+}
@@ -8,14 +8,16 @@ public class AccountResponse {
     private String accountId;
     private String accountHolderName;
     private BigDecimal balance;
+    private BigDecimal availableBalance;
 
     private AccountResponse() {
     }
 
-    public AccountResponse(String accountId, String accountHolderName, BigDecimal balance) {
+    public AccountResponse(String accountId, String accountHolderName, BigDecimal balance, BigDecimal availableBalance) {
         this.accountId = accountId;
         this.accountHolderName = accountHolderName;
         this.balance = balance;
+        this.availableBalance = availableBalance;
     }
 
     public String getAccountId() {
@@ -29,4 +31,8 @@ public class AccountResponse {
     public BigDecimal getBalance() {
         return balance.setScale(2, RoundingMode.HALF_DOWN);
     }
+
+    public BigDecimal getAvailableBalance() {
+        return availableBalance.setScale(2, RoundingMode.HALF_DOWN);
+    }
 }
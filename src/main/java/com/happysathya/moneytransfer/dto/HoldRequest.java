@@ -0,0 +1,25 @@
+package com.happysathya.moneytransfer.dto;
+
+import java.math.BigDecimal;
+
+public class HoldRequest {
+
+    private BigDecimal amount;
+    private Long expiresInSeconds;
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public Long getExpiresInSeconds() {
+        return expiresInSeconds;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public void setExpiresInSeconds(Long expiresInSeconds) {
+        this.expiresInSeconds = expiresInSeconds;
+    }
+}
@@ -0,0 +1,38 @@
+package com.happysathya.moneytransfer.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public class HoldResponse {
+
+    private String holdId;
+    private String accountId;
+    private BigDecimal amount;
+    private String expiresAt;
+
+    private HoldResponse() {
+    }
+
+    public HoldResponse(String holdId, String accountId, BigDecimal amount, String expiresAt) {
+        this.holdId = holdId;
+        this.accountId = accountId;
+        this.amount = amount;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getHoldId() {
+        return holdId;
+    }
+
+    public String getAccountId() {
+        return accountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount.setScale(2, RoundingMode.HALF_DOWN);
+    }
+
+    public String getExpiresAt() {
+        return expiresAt;
+    }
+}
@@ -0,0 +1,43 @@
+package com.happysathya.moneytransfer.dto;
+
+import java.math.BigDecimal;
+
+public class ScheduledTransferRequest {
+
+    private BigDecimal amount;
+    private String toAccountId;
+    private String executeAt;
+    private String repeatEvery;
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public String getToAccountId() {
+        return toAccountId;
+    }
+
+    public String getExecuteAt() {
+        return executeAt;
+    }
+
+    public String getRepeatEvery() {
+        return repeatEvery;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+
+    public void setToAccountId(String toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public void setExecuteAt(String executeAt) {
+        this.executeAt = executeAt;
+    }
+
+    public void setRepeatEvery(String repeatEvery) {
+        this.repeatEvery = repeatEvery;
+    }
+}
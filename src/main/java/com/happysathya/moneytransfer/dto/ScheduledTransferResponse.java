@@ -0,0 +1,69 @@
+package com.happysathya.moneytransfer.dto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public class ScheduledTransferResponse {
+
+    private String scheduledTransferId;
+    private String fromAccountId;
+    private String toAccountId;
+    private BigDecimal amount;
+    private String nextExecutionAt;
+    private String repeatEvery;
+    private String status;
+    private int attempts;
+    private String lastError;
+
+    private ScheduledTransferResponse() {
+    }
+
+    public ScheduledTransferResponse(String scheduledTransferId, String fromAccountId, String toAccountId, BigDecimal amount,
+                                     String nextExecutionAt, String repeatEvery, String status, int attempts, String lastError) {
+        this.scheduledTransferId = scheduledTransferId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.nextExecutionAt = nextExecutionAt;
+        this.repeatEvery = repeatEvery;
+        this.status = status;
+        this.attempts = attempts;
+        this.lastError = lastError;
+    }
+
+    public String getScheduledTransferId() {
+        return scheduledTransferId;
+    }
+
+    public String getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public String getToAccountId() {
+        return toAccountId;
+    }
+
+    public BigDecimal getAmount() {
+        return amount.setScale(2, RoundingMode.HALF_DOWN);
+    }
+
+    public String getNextExecutionAt() {
+        return nextExecutionAt;
+    }
+
+    public String getRepeatEvery() {
+        return repeatEvery;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+}
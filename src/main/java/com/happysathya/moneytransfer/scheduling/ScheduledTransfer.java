@@ -0,0 +1,123 @@
+package com.happysathya.moneytransfer.scheduling;
+
+import com.happysathya.moneytransfer.domain.Account;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+public class ScheduledTransfer {
+
+    public enum Status {
+        SCHEDULED, COMPLETED, FAILED, CANCELLED
+    }
+
+    private UUID scheduledTransferId;
+    private Account fromAccount;
+    private Account toAccount;
+    private BigDecimal amount;
+    private Instant firstExecutionAt;
+    private Period repeatEvery;
+    private long occurrence;
+    private Instant nextExecutionAt;
+    private int attempts;
+    private String lastError;
+    private Status status;
+    private TimingWheel.Timeout timeout;
+
+    ScheduledTransfer(UUID scheduledTransferId, Account fromAccount, Account toAccount, BigDecimal amount,
+                      Instant firstExecutionAt, Period repeatEvery) {
+        this.scheduledTransferId = scheduledTransferId;
+        this.fromAccount = fromAccount;
+        this.toAccount = toAccount;
+        this.amount = amount;
+        this.firstExecutionAt = firstExecutionAt;
+        this.repeatEvery = repeatEvery;
+        this.nextExecutionAt = firstExecutionAt;
+        this.status = Status.SCHEDULED;
+    }
+
+    public UUID getScheduledTransferId() {
+        return scheduledTransferId;
+    }
+
+    public Account getFromAccount() {
+        return fromAccount;
+    }
+
+    public Account getToAccount() {
+        return toAccount;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public Period getRepeatEvery() {
+        return repeatEvery;
+    }
+
+    public synchronized Instant getNextExecutionAt() {
+        return nextExecutionAt;
+    }
+
+    public synchronized int getAttempts() {
+        return attempts;
+    }
+
+    public synchronized String getLastError() {
+        return lastError;
+    }
+
+    public synchronized Status getStatus() {
+        return status;
+    }
+
+    synchronized void setTimeout(TimingWheel.Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    synchronized void setNextExecutionAt(Instant nextExecutionAt) {
+        this.nextExecutionAt = nextExecutionAt;
+    }
+
+    synchronized void recordFailure(String error) {
+        attempts++;
+        lastError = error;
+    }
+
+    synchronized void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /**
+     * Moves on to the first occurrence not before {@code notBefore}, counted from the first execution
+     * so that e.g. a transfer on the 31st keeps falling on the last day of shorter months instead of
+     * drifting. Occurrences missed while the transfer was running late are skipped, not replayed.
+     *
+     * @return false if the transfer does not repeat
+     */
+    synchronized boolean advanceToNextOccurrence(Instant notBefore) {
+        if (repeatEvery == null)
+            return false;
+        attempts = 0;
+        do {
+            occurrence++;
+            nextExecutionAt = firstExecutionAt.atZone(ZoneOffset.UTC)
+                    .plus(repeatEvery.multipliedBy(Math.toIntExact(occurrence)))
+                    .toInstant();
+        } while (nextExecutionAt.isBefore(notBefore));
+        return true;
+    }
+
+    synchronized boolean cancel() {
+        if (status != Status.SCHEDULED)
+            return false;
+        status = Status.CANCELLED;
+        if (timeout != null)
+            timeout.cancel();
+        return true;
+    }
+}
@@ -0,0 +1,237 @@
+package com.happysathya.moneytransfer.scheduling;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Hierarchical timing wheel. Level n has {@code wheelSize} buckets of {@code wheelSize^n} ticks each,
+ * levels are added on demand, and a timeout lives in exactly one bucket as a node of a doubly linked
+ * list, so scheduling and cancelling are O(1). When the clock enters a bucket of a higher level the
+ * bucket is cascaded into the lower levels; timeouts falling due on a tick are handed to the executor
+ * in batches of {@code batchSize}.
+ */
+public class TimingWheel implements AutoCloseable {
+
+    private static final int DEFAULT_WHEEL_SIZE = 512;
+    private static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final long tickNanos;
+    private final int wheelSize;
+    private final int batchSize;
+    private final Executor executor;
+    private final LongSupplier nanoClock;
+    private final long startNanos;
+    private final List<Bucket[]> levels = new ArrayList<>();
+    private final List<Long> levelSpans = new ArrayList<>();
+    private final Object lock = new Object();
+    private ScheduledExecutorService ticker;
+    private long currentTick;
+
+    public TimingWheel(Duration tickDuration, Executor executor) {
+        this(tickDuration, DEFAULT_WHEEL_SIZE, DEFAULT_BATCH_SIZE, executor, System::nanoTime);
+    }
+
+    public TimingWheel(Duration tickDuration, int wheelSize, int batchSize, Executor executor, LongSupplier nanoClock) {
+        if (tickDuration.toNanos() <= 0 || wheelSize < 2 || batchSize < 1)
+            throw new IllegalStateException("Timing wheel needs a positive tick, at least two buckets and a positive batch size");
+        this.tickNanos = tickDuration.toNanos();
+        this.wheelSize = wheelSize;
+        this.batchSize = batchSize;
+        this.executor = executor;
+        this.nanoClock = nanoClock;
+        this.startNanos = nanoClock.getAsLong();
+        addLevel();
+    }
+
+    public TimingWheel start() {
+        synchronized (lock) {
+            if (ticker == null) {
+                ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "timing-wheel");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                ticker.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        return this;
+    }
+
+    public Timeout schedule(Duration delay, Runnable task) {
+        long delayNanos = delay.isNegative() ? 0 : delay.toNanos();
+        long deadlineTick = Math.floorDiv(nanoClock.getAsLong() - startNanos + delayNanos + tickNanos - 1, tickNanos);
+        Timeout timeout = new Timeout(deadlineTick, task);
+        synchronized (lock) {
+            if (deadlineTick > currentTick) {
+                insert(timeout);
+                return timeout;
+            }
+        }
+        executor.execute(() -> runSafely(task));
+        return timeout;
+    }
+
+    /**
+     * Moves the wheel up to the current time and dispatches everything that fell due on the way.
+     * Called by the ticker thread once started; exposed so callers can drive the wheel themselves.
+     */
+    public void advanceClock() {
+        long targetTick = Math.floorDiv(nanoClock.getAsLong() - startNanos, tickNanos);
+        List<Runnable> expired = new ArrayList<>();
+        synchronized (lock) {
+            while (currentTick < targetTick) {
+                currentTick++;
+                for (int level = levels.size() - 1; level > 0; level--) {
+                    long span = levelSpans.get(level);
+                    if (currentTick % span == 0)
+                        cascade(levels.get(level)[(int) ((currentTick / span) % wheelSize)], expired);
+                }
+                Bucket bucket = levels.get(0)[(int) (currentTick % wheelSize)];
+                for (Timeout timeout = bucket.poll(); timeout != null; timeout = bucket.poll())
+                    expired.add(timeout.task);
+            }
+        }
+        dispatch(expired);
+    }
+
+    /**
+     * A ScheduledExecutorService stops a periodic task for good once it throws, so a failing tick is
+     * only logged to keep the wheel turning.
+     */
+    private void tick() {
+        try {
+            advanceClock();
+        } catch (RuntimeException ex) {
+            System.out.println(ex.getMessage());
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (ticker != null)
+                ticker.shutdownNow();
+            ticker = null;
+        }
+    }
+
+    private void cascade(Bucket bucket, List<Runnable> expired) {
+        for (Timeout timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+            if (timeout.deadlineTick <= currentTick)
+                expired.add(timeout.task);
+            else
+                insert(timeout);
+        }
+    }
+
+    private void insert(Timeout timeout) {
+        long delta = timeout.deadlineTick - currentTick;
+        int level = 0;
+        while (delta >= levelSpans.get(level) * wheelSize) {
+            level++;
+            if (level == levels.size())
+                addLevel();
+        }
+        long span = levelSpans.get(level);
+        levels.get(level)[(int) ((timeout.deadlineTick / span) % wheelSize)].add(timeout);
+    }
+
+    private void addLevel() {
+        long span = levelSpans.isEmpty() ? 1 : Math.multiplyExact(levelSpans.get(levelSpans.size() - 1), (long) wheelSize);
+        Bucket[] buckets = new Bucket[wheelSize];
+        for (int i = 0; i < wheelSize; i++)
+            buckets[i] = new Bucket();
+        levels.add(buckets);
+        levelSpans.add(span);
+    }
+
+    private void dispatch(List<Runnable> expired) {
+        for (int from = 0; from < expired.size(); from += batchSize) {
+            List<Runnable> batch = expired.subList(from, Math.min(from + batchSize, expired.size()));
+            try {
+                executor.execute(() -> batch.forEach(TimingWheel::runSafely));
+            } catch (RejectedExecutionException ex) {
+                System.out.println(ex.getMessage());
+            }
+        }
+    }
+
+    private static void runSafely(Runnable task) {
+        try {
+            task.run();
+        } catch (RuntimeException ex) {
+            System.out.println(ex.getMessage());
+        }
+    }
+
+    public class Timeout {
+
+        private final long deadlineTick;
+        private final Runnable task;
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(long deadlineTick, Runnable task) {
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        /**
+         * @return true if the timeout was still pending and will now never run
+         */
+        public boolean cancel() {
+            synchronized (lock) {
+                if (bucket == null)
+                    return false;
+                bucket.remove(this);
+                return true;
+            }
+        }
+    }
+
+    private static class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = tail;
+            timeout.next = null;
+            if (tail == null)
+                head = timeout;
+            else
+                tail.next = timeout;
+            tail = timeout;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.previous == null)
+                head = timeout.next;
+            else
+                timeout.previous.next = timeout.next;
+            if (timeout.next == null)
+                tail = timeout.previous;
+            else
+                timeout.next.previous = timeout.previous;
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+
+        private Timeout poll() {
+            Timeout timeout = head;
+            if (timeout != null)
+                remove(timeout);
+            return timeout;
+        }
+    }
+}
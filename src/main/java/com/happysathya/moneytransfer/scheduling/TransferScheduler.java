@@ -0,0 +1,201 @@
+package com.happysathya.moneytransfer.scheduling;
+
+import com.happysathya.moneytransfer.domain.Account;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Fires scheduled and recurring transfers through {@link Account#transferTo} when they fall due.
+ * Every pending transfer is a single timeout on the timing wheel, so the wheel hands all transfers
+ * due on a tick to its executor in batches. A transfer rejected by the account (e.g. insufficient
+ * funds) is retried after {@code retryDelay} up to {@code maxAttempts} times; after that a one-off
+ * transfer fails and a recurring one skips to its next occurrence. Completed and failed transfers
+ * stay visible in a per-account history of the last {@code MAX_FINISHED_TRANSFERS_PER_ACCOUNT}, after
+ * which the oldest is evicted; cancelled transfers are evicted straight away.
+ */
+public class TransferScheduler {
+
+    private static final Period MAX_SCHEDULE_AHEAD = Period.ofYears(100);
+    private static final int MAX_FINISHED_TRANSFERS_PER_ACCOUNT = 100;
+
+    private final TimingWheel timingWheel;
+    private final Clock clock;
+    private final int maxAttempts;
+    private final Duration retryDelay;
+    private final Map<UUID, ScheduledTransfer> scheduledTransfers = new ConcurrentHashMap<>();
+    private final Map<UUID, AccountTransfers> scheduledTransfersByAccount = new ConcurrentHashMap<>();
+
+    public TransferScheduler(TimingWheel timingWheel, Clock clock, int maxAttempts, Duration retryDelay) {
+        this.timingWheel = timingWheel;
+        this.clock = clock;
+        this.maxAttempts = maxAttempts;
+        this.retryDelay = retryDelay;
+    }
+
+    private static void logEvent(String action, ScheduledTransfer scheduledTransfer) {
+        System.out.printf("%s-%s-%s%n", action, scheduledTransfer.getScheduledTransferId(), scheduledTransfer.getNextExecutionAt());
+    }
+
+    public ScheduledTransfer schedule(Account fromAccount, Account toAccount, BigDecimal amount, Instant executeAt, Period repeatEvery) {
+        if (amount == null || amount.compareTo(new BigDecimal(0)) <= 0)
+            throw new IllegalStateException("Scheduled transfer amount must be positive");
+        if (fromAccount == toAccount)
+            throw new IllegalStateException("Scheduled transfer cannot be to the same account");
+        if (repeatEvery != null && (repeatEvery.isZero() || repeatEvery.isNegative()))
+            throw new IllegalStateException("Scheduled transfer repeat interval must be positive");
+        Instant now = clock.instant();
+        Instant firstExecutionAt = executeAt == null ? now : executeAt;
+        if (repeatEvery != null && firstExecutionAt.isBefore(now))
+            throw new IllegalStateException("Recurring transfer cannot start in the past");
+        if (isTooFarAhead(now, firstExecutionAt, repeatEvery))
+            throw new IllegalStateException(String.format("Scheduled transfer cannot run more than %s years ahead", MAX_SCHEDULE_AHEAD.getYears()));
+
+        ScheduledTransfer scheduledTransfer = new ScheduledTransfer(UUID.randomUUID(), fromAccount, toAccount, amount,
+                firstExecutionAt, repeatEvery);
+        synchronized (scheduledTransfer) {
+            index(scheduledTransfer);
+            try {
+                scheduleAt(scheduledTransfer, scheduledTransfer.getNextExecutionAt());
+            } catch (RuntimeException ex) {
+                remove(scheduledTransfer);
+                throw ex;
+            }
+            logEvent("SCHEDULE", scheduledTransfer);
+        }
+        return scheduledTransfer;
+    }
+
+    public Optional<ScheduledTransfer> find(UUID scheduledTransferId) {
+        return Optional.ofNullable(scheduledTransfers.get(scheduledTransferId));
+    }
+
+    public List<ScheduledTransfer> findByAccount(Account fromAccount) {
+        AccountTransfers accountTransfers = scheduledTransfersByAccount.get(fromAccount.getAccountId());
+        return accountTransfers == null ? List.of() : accountTransfers.list();
+    }
+
+    public ScheduledTransfer cancel(UUID scheduledTransferId) {
+        ScheduledTransfer scheduledTransfer = find(scheduledTransferId)
+                .orElseThrow(() -> new IllegalStateException(String.format("Scheduled transfer %s does not exist", scheduledTransferId)));
+        if (!scheduledTransfer.cancel())
+            throw new IllegalStateException(String.format("Scheduled transfer %s is already %s",
+                    scheduledTransferId, scheduledTransfer.getStatus()));
+        remove(scheduledTransfer);
+        logEvent("CANCEL", scheduledTransfer);
+        return scheduledTransfer;
+    }
+
+    private static boolean isTooFarAhead(Instant now, Instant firstExecutionAt, Period repeatEvery) {
+        Instant latestExecutionAt = now.atZone(ZoneOffset.UTC).plus(MAX_SCHEDULE_AHEAD).toInstant();
+        if (firstExecutionAt.isAfter(latestExecutionAt))
+            return true;
+        try {
+            return repeatEvery != null && firstExecutionAt.atZone(ZoneOffset.UTC).plus(repeatEvery).toInstant().isAfter(latestExecutionAt);
+        } catch (DateTimeException | ArithmeticException ex) {
+            return true;
+        }
+    }
+
+    private void index(ScheduledTransfer scheduledTransfer) {
+        scheduledTransfers.put(scheduledTransfer.getScheduledTransferId(), scheduledTransfer);
+        accountTransfers(scheduledTransfer).add(scheduledTransfer);
+    }
+
+    private void remove(ScheduledTransfer scheduledTransfer) {
+        scheduledTransfers.remove(scheduledTransfer.getScheduledTransferId());
+        accountTransfers(scheduledTransfer).remove(scheduledTransfer);
+    }
+
+    private void finish(ScheduledTransfer scheduledTransfer) {
+        accountTransfers(scheduledTransfer).finish(scheduledTransfer)
+                .ifPresent(evicted -> scheduledTransfers.remove(evicted.getScheduledTransferId()));
+    }
+
+    private AccountTransfers accountTransfers(ScheduledTransfer scheduledTransfer) {
+        return scheduledTransfersByAccount.computeIfAbsent(scheduledTransfer.getFromAccount().getAccountId(),
+                accountId -> new AccountTransfers());
+    }
+
+    private void scheduleAt(ScheduledTransfer scheduledTransfer, Instant executeAt) {
+        Duration delay = Duration.between(clock.instant(), executeAt);
+        scheduledTransfer.setTimeout(timingWheel.schedule(delay, () -> execute(scheduledTransfer)));
+    }
+
+    private void execute(ScheduledTransfer scheduledTransfer) {
+        synchronized (scheduledTransfer) {
+            if (scheduledTransfer.getStatus() != ScheduledTransfer.Status.SCHEDULED)
+                return;
+            try {
+                scheduledTransfer.getFromAccount().transferTo(scheduledTransfer.getToAccount(), scheduledTransfer.getAmount());
+                scheduleNextOccurrence(scheduledTransfer, ScheduledTransfer.Status.COMPLETED);
+            } catch (IllegalStateException ex) {
+                scheduledTransfer.recordFailure(ex.getMessage());
+                if (scheduledTransfer.getAttempts() < maxAttempts) {
+                    Instant retryAt = clock.instant().plus(retryDelay);
+                    scheduledTransfer.setNextExecutionAt(retryAt);
+                    logEvent("RETRY", scheduledTransfer);
+                    scheduleAt(scheduledTransfer, retryAt);
+                } else {
+                    logEvent("FAIL", scheduledTransfer);
+                    scheduleNextOccurrence(scheduledTransfer, ScheduledTransfer.Status.FAILED);
+                }
+            }
+        }
+    }
+
+    private void scheduleNextOccurrence(ScheduledTransfer scheduledTransfer, ScheduledTransfer.Status finalStatus) {
+        if (scheduledTransfer.advanceToNextOccurrence(clock.instant())) {
+            scheduleAt(scheduledTransfer, scheduledTransfer.getNextExecutionAt());
+        } else {
+            scheduledTransfer.setStatus(finalStatus);
+            finish(scheduledTransfer);
+        }
+    }
+
+    private static class AccountTransfers {
+
+        private final Set<ScheduledTransfer> transfers = new LinkedHashSet<>();
+        private final Deque<ScheduledTransfer> finished = new ArrayDeque<>();
+
+        private synchronized void add(ScheduledTransfer scheduledTransfer) {
+            transfers.add(scheduledTransfer);
+        }
+
+        private synchronized void remove(ScheduledTransfer scheduledTransfer) {
+            transfers.remove(scheduledTransfer);
+            finished.remove(scheduledTransfer);
+        }
+
+        /**
+         * @return the oldest finished transfer if it had to make room for this one
+         */
+        private synchronized Optional<ScheduledTransfer> finish(ScheduledTransfer scheduledTransfer) {
+            finished.addLast(scheduledTransfer);
+            if (finished.size() <= MAX_FINISHED_TRANSFERS_PER_ACCOUNT)
+                return Optional.empty();
+            ScheduledTransfer evicted = finished.removeFirst();
+            transfers.remove(evicted);
+            return Optional.of(evicted);
+        }
+
+        private synchronized List<ScheduledTransfer> list() {
+            return new ArrayList<>(transfers);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.happysathya.moneytransfer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.happysathya.moneytransfer.domain.Account;
+import com.happysathya.moneytransfer.domain.AccountIdGenerator;
+import com.happysathya.moneytransfer.dto.AccountImportResult;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AccountImporterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Account> accounts = new ArrayList<>();
+    private final AccountImporter accountImporter = new AccountImporter(objectMapper, AccountIdGenerator.random(), accounts::addAll);
+
+    @Test
+    public void shouldImportQuotedCsvFields_andMapColumnsByHeader() throws IOException {
+        String csv = "balance,accountHolderName\n" +
+                "10,\"Smith, John\"\n" +
+                "5.25,\"Jane \"\"JJ\"\" Doe\"\n" +
+                "1,\"Unterminated\n" +
+                "2,\"Quoted\"trailing\n";
+
+        List<AccountImportResult> results = importAccounts(csv, true);
+
+        assertEquals(4, results.size());
+        assertEquals("CREATED", results.get(0).getStatus());
+        assertEquals("CREATED", results.get(1).getStatus());
+        assertEquals("Row has an unterminated quoted field", results.get(2).getErrorMessage());
+        assertEquals("Row has characters after a closing quote", results.get(3).getErrorMessage());
+        assertEquals("Smith, John", accounts.get(0).getAccountHolderName());
+        assertEquals(0, accounts.get(0).getBalance().compareTo(new BigDecimal(10)));
+        assertEquals("Jane \"JJ\" Doe", accounts.get(1).getAccountHolderName());
+        assertEquals(0, accounts.get(1).getBalance().compareTo(new BigDecimal("5.25")));
+    }
+
+    @Test
+    public void shouldTreatFirstCsvLineAsData_ifItIsNotAHeader() throws IOException {
+        List<AccountImportResult> results = importAccounts("Revolut AAA,1\nRevolut BBB,2\n", true);
+
+        assertEquals(2, results.size());
+        assertEquals(1, results.get(0).getLineNumber());
+        assertEquals("Revolut AAA", accounts.get(0).getAccountHolderName());
+    }
+
+    @Test
+    public void shouldRejectNullNdjsonRows_withoutAbortingTheImport() throws IOException {
+        String ndjson = "null\n" +
+                "{\"accountHolderName\":\"Revolut AAA\",\"balance\":1}\n";
+
+        List<AccountImportResult> results = importAccounts(ndjson, false);
+
+        assertEquals(2, results.size());
+        assertEquals("Row is not a valid JSON object", results.get(0).getErrorMessage());
+        assertEquals("CREATED", results.get(1).getStatus());
+        assertEquals(1, accounts.size());
+    }
+
+    private List<AccountImportResult> importAccounts(String content, boolean csv) throws IOException {
+        StringWriter writer = new StringWriter();
+        accountImporter.importAccounts(new BufferedReader(new StringReader(content)), csv, writer);
+        return objectMapper.readerFor(AccountImportResult.class)
+                .<AccountImportResult>readValues(writer.toString())
+                .readAll();
+    }
+}
@@ -2,13 +2,19 @@ package com.happysathya.moneytransfer;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.happysathya.moneytransfer.dto.AccountImportResult;
 import com.happysathya.moneytransfer.dto.AccountRequest;
 import com.happysathya.moneytransfer.dto.AccountResponse;
 import com.happysathya.moneytransfer.dto.DepositRequest;
 import com.happysathya.moneytransfer.dto.ErrorResponse;
+import com.happysathya.moneytransfer.dto.HoldRequest;
+import com.happysathya.moneytransfer.dto.HoldResponse;
+import com.happysathya.moneytransfer.dto.ScheduledTransferRequest;
+import com.happysathya.moneytransfer.dto.ScheduledTransferResponse;
 import com.happysathya.moneytransfer.dto.TransferRequest;
 import com.happysathya.moneytransfer.dto.WithdrawRequest;
 import io.javalin.Javalin;
+import okhttp3.MediaType;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
 import okhttp3.RequestBody;
@@ -21,7 +27,10 @@ import org.junit.jupiter.api.TestMethodOrder;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.Comparator;
 import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -168,6 +177,214 @@ public class ApplicationTest {
         assertEquals(0, getAccount(accountResponse2.getAccountId()).getBalance().compareTo(new BigDecimal(3.00)));
     }
 
+    @Test
+    @Order(6)
+    public void shouldImportAccountsFromCsv_andReportEachRow() throws IOException {
+        String csv = "accountHolderName,balance\n" +
+                "Revolut AAA,10.50\n" +
+                "Revolut BBB,-1\n" +
+                ",5\n" +
+                "Revolut CCC,abc\n" +
+                "Revolut DDD\n";
+
+        Response response = httpClient.newCall(new Request.Builder().url("http://localhost:7001/accounts/import")
+                .post(RequestBody.create(csv.getBytes(), MediaType.get("text/csv"))).build()).execute();
+
+        List<AccountImportResult> results = objectMapper.readerFor(AccountImportResult.class)
+                .<AccountImportResult>readValues(response.body().bytes())
+                .readAll();
+        assertEquals(5, results.size());
+        assertEquals("CREATED", results.get(0).getStatus());
+        assertEquals(2, results.get(0).getLineNumber());
+        assertEquals("Account balance cannot be negative", results.get(1).getErrorMessage());
+        assertEquals("Account holder name cannot be null or empty", results.get(2).getErrorMessage());
+        assertEquals("Account balance is not a valid amount", results.get(3).getErrorMessage());
+        assertEquals("CREATED", results.get(4).getStatus());
+
+        assertEquals(0, getAccount(results.get(0).getAccountId()).getBalance().compareTo(new BigDecimal("10.50")));
+        assertEquals(0, getAccount(results.get(4).getAccountId()).getBalance().compareTo(new BigDecimal(0)));
+    }
+
+    @Test
+    @Order(7)
+    public void shouldImportAccountsFromNdjson_andRejectMalformedRows() throws IOException {
+        String ndjson = "{\"accountHolderName\":\"Revolut EEE\",\"balance\":20}\n" +
+                "not json\n" +
+                "\n" +
+                "{\"accountHolderName\":\"Revolut FFF\"}\n";
+
+        Response response = httpClient.newCall(new Request.Builder().url("http://localhost:7001/accounts/import")
+                .post(RequestBody.create(ndjson.getBytes(), MediaType.get("application/x-ndjson"))).build()).execute();
+
+        List<AccountImportResult> results = objectMapper.readerFor(AccountImportResult.class)
+                .<AccountImportResult>readValues(response.body().bytes())
+                .readAll();
+        assertEquals(3, results.size());
+        assertEquals("CREATED", results.get(0).getStatus());
+        assertEquals("Row is not a valid JSON object", results.get(1).getErrorMessage());
+        assertEquals(4, results.get(2).getLineNumber());
+        assertEquals(0, getAccount(results.get(0).getAccountId()).getBalance().compareTo(new BigDecimal(20)));
+    }
+
+    @Test
+    @Order(8)
+    public void shouldHoldAndCaptureMoney_andReflectAvailableBalanceCorrectly() throws IOException {
+        AccountResponse accountResponse = createAccount();
+
+        DepositRequest depositRequest = new DepositRequest();
+        depositRequest.setAmount(new BigDecimal(10.00));
+
+        String depositUrl = String.format("http://localhost:7001/accounts/%s/deposit", accountResponse.getAccountId());
+        httpClient.newCall(new Request.Builder().url(depositUrl)
+                .post(RequestBody.create(objectMapper.writeValueAsBytes(depositRequest))).build()).execute();
+
+        HoldRequest holdRequest = new HoldRequest();
+        holdRequest.setAmount(new BigDecimal(4.00));
+
+        String holdUrl = String.format("http://localhost:7001/accounts/%s/holds", accountResponse.getAccountId());
+        Response holdResponse = httpClient.newCall(new Request.Builder().url(holdUrl)
+                .post(RequestBody.create(objectMapper.writeValueAsBytes(holdRequest))).build()).execute();
+        HoldResponse hold = objectMapper.readValue(holdResponse.body().bytes(), HoldResponse.class);
+
+        AccountResponse afterHold = getAccount(accountResponse.getAccountId());
+        assertEquals(0, afterHold.getBalance().compareTo(new BigDecimal(10.00)));
+        assertEquals(0, afterHold.getAvailableBalance().compareTo(new BigDecimal(6.00)));
+
+        String captureUrl = String.format("http://localhost:7001/accounts/%s/holds/%s/capture", accountResponse.getAccountId(), hold.getHoldId());
+        Response captureResponse = httpClient.newCall(new Request.Builder().url(captureUrl)
+                .post(RequestBody.create(new byte[0])).build()).execute();
+
+        AccountResponse afterCapture = objectMapper.readValue(captureResponse.body().bytes(), AccountResponse.class);
+        assertEquals(0, afterCapture.getBalance().compareTo(new BigDecimal(6.00)));
+        assertEquals(0, afterCapture.getAvailableBalance().compareTo(new BigDecimal(6.00)));
+
+        String releaseUrl = String.format("http://localhost:7001/accounts/%s/holds/%s/release", accountResponse.getAccountId(), hold.getHoldId());
+        Response releaseResponse = httpClient.newCall(new Request.Builder().url(releaseUrl)
+                .post(RequestBody.create(new byte[0])).build()).execute();
+        assertEquals(400, releaseResponse.code());
+    }
+
+    @Test
+    @Order(9)
+    public void shouldReturn400_ifHoldExpiryIsTooFarAhead() throws IOException {
+        AccountResponse accountResponse = createAccount();
+
+        HoldRequest holdRequest = new HoldRequest();
+        holdRequest.setAmount(new BigDecimal(1.00));
+        holdRequest.setExpiresInSeconds(10_000_000_000L);
+
+        String holdUrl = String.format("http://localhost:7001/accounts/%s/holds", accountResponse.getAccountId());
+        Response holdResponse = httpClient.newCall(new Request.Builder().url(holdUrl)
+                .post(RequestBody.create(objectMapper.writeValueAsBytes(holdRequest))).build()).execute();
+
+        assertEquals(400, holdResponse.code());
+        ErrorResponse errorResponse = objectMapper.readValue(holdResponse.body().bytes(), ErrorResponse.class);
+        assertEquals("Hold expiry cannot be more than 30 days", errorResponse.getErrorMessage());
+    }
+
+    @Test
+    @Order(10)
+    public void shouldScheduleAndCancelRecurringTransfer() throws IOException {
+        AccountResponse accountResponse1 = createAccount();
+        AccountResponse accountResponse2 = createAccount();
+
+        ScheduledTransferRequest scheduledTransferRequest = new ScheduledTransferRequest();
+        scheduledTransferRequest.setAmount(new BigDecimal(3.00));
+        scheduledTransferRequest.setToAccountId(accountResponse2.getAccountId());
+        scheduledTransferRequest.setExecuteAt("2099-01-31T09:00:00Z");
+        scheduledTransferRequest.setRepeatEvery("P1M");
+
+        String scheduledTransfersUrl = String.format("http://localhost:7001/accounts/%s/scheduled-transfers", accountResponse1.getAccountId());
+        Response scheduleResponse = httpClient.newCall(new Request.Builder().url(scheduledTransfersUrl)
+                .post(RequestBody.create(objectMapper.writeValueAsBytes(scheduledTransferRequest))).build()).execute();
+        ScheduledTransferResponse scheduledTransfer = objectMapper.readValue(scheduleResponse.body().bytes(), ScheduledTransferResponse.class);
+        assertEquals("SCHEDULED", scheduledTransfer.getStatus());
+        assertEquals("2099-01-31T09:00:00Z", scheduledTransfer.getNextExecutionAt());
+
+        Response listResponse = httpClient.newCall(new Request.Builder().url(scheduledTransfersUrl).build()).execute();
+        List<ScheduledTransferResponse> scheduledTransfers = objectMapper.readValue(listResponse.body().bytes(), new TypeReference<List<ScheduledTransferResponse>>() {
+        });
+        assertEquals(1, scheduledTransfers.size());
+
+        String cancelUrl = String.format("%s/%s", scheduledTransfersUrl, scheduledTransfer.getScheduledTransferId());
+        Response cancelResponse = httpClient.newCall(new Request.Builder().url(cancelUrl).delete().build()).execute();
+        assertEquals("CANCELLED", objectMapper.readValue(cancelResponse.body().bytes(), ScheduledTransferResponse.class).getStatus());
+    }
+
+    @Test
+    @Order(11)
+    public void shouldReturn400_ifScheduledTransferStartsInThePastOrTooFarAhead() throws IOException {
+        AccountResponse accountResponse1 = createAccount();
+        AccountResponse accountResponse2 = createAccount();
+
+        ScheduledTransferRequest pastRequest = new ScheduledTransferRequest();
+        pastRequest.setAmount(new BigDecimal(3.00));
+        pastRequest.setToAccountId(accountResponse2.getAccountId());
+        pastRequest.setExecuteAt("2020-01-01T00:00:00Z");
+        pastRequest.setRepeatEvery("P1D");
+
+        ScheduledTransferRequest farAheadRequest = new ScheduledTransferRequest();
+        farAheadRequest.setAmount(new BigDecimal(3.00));
+        farAheadRequest.setToAccountId(accountResponse2.getAccountId());
+        farAheadRequest.setExecuteAt("2400-01-01T00:00:00Z");
+
+        String scheduledTransfersUrl = String.format("http://localhost:7001/accounts/%s/scheduled-transfers", accountResponse1.getAccountId());
+        for (ScheduledTransferRequest request : List.of(pastRequest, farAheadRequest)) {
+            Response response = httpClient.newCall(new Request.Builder().url(scheduledTransfersUrl)
+                    .post(RequestBody.create(objectMapper.writeValueAsBytes(request))).build()).execute();
+            assertEquals(400, response.code());
+        }
+
+        Response listResponse = httpClient.newCall(new Request.Builder().url(scheduledTransfersUrl).build()).execute();
+        List<ScheduledTransferResponse> scheduledTransfers = objectMapper.readValue(listResponse.body().bytes(), new TypeReference<List<ScheduledTransferResponse>>() {
+        });
+        assertTrue(scheduledTransfers.isEmpty());
+    }
+
+    @Test
+    @Order(12)
+    public void shouldPageThroughAccounts_inAccountIdOrder() throws IOException {
+        AccountResponse accountResponse = createAccount();
+        createAccount();
+        createAccount();
+
+        Response allResponse = httpClient.newCall(new Request.Builder().url("http://localhost:7001/accounts").build()).execute();
+        List<AccountResponse> accounts = objectMapper.readValue(allResponse.body().bytes(), new TypeReference<List<AccountResponse>>() {
+        });
+        List<String> accountIds = accounts.stream()
+                .map(AccountResponse::getAccountId)
+                .collect(Collectors.toList());
+        List<String> sortedAccountIds = accountIds.stream()
+                .sorted(Comparator.comparing(UUID::fromString))
+                .collect(Collectors.toList());
+        assertEquals(sortedAccountIds, accountIds);
+
+        int index = accountIds.indexOf(accountResponse.getAccountId());
+        String pageUrl = String.format("http://localhost:7001/accounts?after=%s&limit=2", accountResponse.getAccountId());
+        Response pageResponse = httpClient.newCall(new Request.Builder().url(pageUrl).build()).execute();
+        List<AccountResponse> page = objectMapper.readValue(pageResponse.body().bytes(), new TypeReference<List<AccountResponse>>() {
+        });
+        assertEquals(accountIds.subList(index + 1, Math.min(index + 3, accountIds.size())), page.stream()
+                .map(AccountResponse::getAccountId)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    @Order(13)
+    public void shouldReturn404_forANonCanonicalFormOfAnExistingAccountId() throws IOException {
+        AccountResponse accountResponse = createAccount();
+        assertTrue(accountResponse.getAccountId().startsWith("0"));
+        String shortAccountId = accountResponse.getAccountId().replaceFirst("^0+", "");
+
+        Response response = httpClient.newCall(new Request.Builder()
+                .url(String.format("http://localhost:7001/accounts/%s", shortAccountId)).build()).execute();
+        assertEquals(404, response.code());
+
+        Response shortFormResponse = httpClient.newCall(new Request.Builder()
+                .url("http://localhost:7001/accounts/0-0-0-0-1").build()).execute();
+        assertEquals(404, shortFormResponse.code());
+    }
+
     private AccountResponse createAccount() throws IOException {
         AccountRequest accountRequest = new AccountRequest();
         accountRequest.setAccountHolderName("Revolut MMM");
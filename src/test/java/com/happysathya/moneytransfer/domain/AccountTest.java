@@ -1,14 +1,17 @@
 package com.happysathya.moneytransfer.domain;
 
 import com.happysathya.moneytransfer.domain.Account.AccountBuilder;
+import com.happysathya.moneytransfer.scheduling.TimingWheel;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -164,4 +167,76 @@ public class AccountTest {
                 .compareTo(new BigDecimal(50.00)));
     }
 
+    @Test
+    public void heldAmount_ShouldReduceAvailableBalanceButNotBalance() {
+        TimingWheel timingWheel = new TimingWheel(Duration.ofSeconds(1), Runnable::run);
+        Account account = new AccountBuilder()
+                .setAccountHolderName("ZZZ")
+                .setBalance(new BigDecimal(10.00))
+                .build();
+        account.placeHold(new BigDecimal(6.00), Duration.ofMinutes(5), timingWheel);
+
+        assertEquals(0, account.getBalance().compareTo(new BigDecimal(10.00)));
+        assertEquals(0, account.getAvailableBalance().compareTo(new BigDecimal(4.00)));
+        IllegalStateException exception1 = assertThrows(IllegalStateException.class, () ->
+                account.withdrawAmount(new BigDecimal(5.00)));
+        assertEquals("Withdrawal amount 5.00 is greater than balance 4.00", exception1.getMessage());
+        IllegalStateException exception2 = assertThrows(IllegalStateException.class, () ->
+                account.placeHold(new BigDecimal(5.00), Duration.ofMinutes(5), timingWheel));
+        assertEquals("Hold amount 5.00 is greater than balance 4.00", exception2.getMessage());
+    }
+
+    @Test
+    public void capturingAndReleasingHolds_ShouldMaintainTheBalanceCorrectly() {
+        TimingWheel timingWheel = new TimingWheel(Duration.ofSeconds(1), Runnable::run);
+        Account account = new AccountBuilder()
+                .setAccountHolderName("ZZZ")
+                .setBalance(new BigDecimal(10.00))
+                .build();
+        Hold hold1 = account.placeHold(new BigDecimal(3.00), Duration.ofMinutes(5), timingWheel);
+        Hold hold2 = account.placeHold(new BigDecimal(2.00), Duration.ofMinutes(5), timingWheel);
+
+        account.captureHold(hold1.getHoldId());
+        account.releaseHold(hold2.getHoldId());
+
+        assertEquals(0, account.getBalance().compareTo(new BigDecimal(7.00)));
+        assertEquals(0, account.getAvailableBalance().compareTo(new BigDecimal(7.00)));
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                account.captureHold(hold2.getHoldId()));
+        assertEquals(String.format("Hold %s does not exist or has expired", hold2.getHoldId()), exception.getMessage());
+    }
+
+    @Test
+    public void failedHoldScheduling_ShouldLeaveTheBalanceUntouched() {
+        TimingWheel timingWheel = new TimingWheel(Duration.ofSeconds(1), Runnable::run);
+        Account account = new AccountBuilder()
+                .setAccountHolderName("ZZZ")
+                .setBalance(new BigDecimal(100.00))
+                .build();
+
+        assertThrows(ArithmeticException.class, () ->
+                account.placeHold(new BigDecimal(60.00), Duration.ofSeconds(10_000_000_000L), timingWheel));
+        assertEquals(0, account.getAvailableBalance().compareTo(new BigDecimal(100.00)));
+    }
+
+    @Test
+    public void expiredHolds_ShouldBeReleasedAutomatically() {
+        AtomicLong clock = new AtomicLong();
+        TimingWheel timingWheel = new TimingWheel(Duration.ofSeconds(1), 8, 16, Runnable::run, clock::get);
+        Account account = new AccountBuilder()
+                .setAccountHolderName("ZZZ")
+                .setBalance(new BigDecimal(10.00))
+                .build();
+        Hold hold = account.placeHold(new BigDecimal(4.00), Duration.ofMinutes(1), timingWheel);
+
+        clock.set(Duration.ofSeconds(59).toNanos());
+        timingWheel.advanceClock();
+        assertEquals(0, account.getAvailableBalance().compareTo(new BigDecimal(6.00)));
+
+        clock.set(Duration.ofMinutes(1).toNanos());
+        timingWheel.advanceClock();
+        assertEquals(0, account.getAvailableBalance().compareTo(new BigDecimal(10.00)));
+        assertThrows(IllegalStateException.class, () -> account.captureHold(hold.getHoldId()));
+    }
+
 }
@@ -0,0 +1,63 @@
+package com.happysathya.moneytransfer.domain;
+
+import com.happysathya.moneytransfer.domain.Account.AccountBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimeOrderedAccountIdGeneratorTest {
+
+    private final AccountIdGenerator accountIdGenerator = AccountIdGenerator.timeOrdered();
+
+    @Test
+    public void shouldGenerateVersion7Ids_inIncreasingOrderWithinAThread() {
+        long before = System.currentTimeMillis();
+        List<UUID> ids = IntStream.range(0, 10000)
+                .mapToObj(value -> accountIdGenerator.nextId())
+                .collect(Collectors.toList());
+
+        for (int i = 1; i < ids.size(); i++)
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0);
+        assertEquals(7, ids.get(0).version());
+        assertEquals(2, ids.get(0).variant());
+        assertTrue((ids.get(0).getMostSignificantBits() >>> 16) >= before);
+    }
+
+    @Test
+    public void idsGeneratedInParallel_ShouldBeUnique() throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+        Callable<Void> generateIds = () -> {
+            IntStream.range(0, 10000).forEach(value -> ids.add(accountIdGenerator.nextId()));
+            return null;
+        };
+        executor.invokeAll(IntStream.range(0, 8)
+                .mapToObj(value -> generateIds)
+                .collect(Collectors.toList()));
+        executor.shutdown();
+        assertEquals(80000, ids.size());
+    }
+
+    @Test
+    public void accountBuilder_ShouldUseTheGivenIdGenerator() {
+        UUID accountId = UUID.randomUUID();
+        Account account = new AccountBuilder()
+                .setAccountHolderName("ZZZ")
+                .setBalance(new BigDecimal(0))
+                .setAccountIdGenerator(() -> accountId)
+                .build();
+        assertEquals(accountId, account.getAccountId());
+    }
+}
@@ -0,0 +1,101 @@
+package com.happysathya.moneytransfer.scheduling;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TimingWheelTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final TimingWheel timingWheel = new TimingWheel(Duration.ofNanos(1), 4, 2, Runnable::run, clock::get);
+
+    @Test
+    public void shouldRunTimeouts_onlyOnceTheirDeadlineIsReached() {
+        List<Long> fired = new ArrayList<>();
+        for (long delay : new long[]{1, 3, 4, 15, 16, 17, 63, 64, 200})
+            timingWheel.schedule(Duration.ofNanos(delay), () -> fired.add(clock.get()));
+
+        for (long now = 1; now <= 200; now++) {
+            clock.set(now);
+            timingWheel.advanceClock();
+        }
+
+        assertEquals(List.of(1L, 3L, 4L, 15L, 16L, 17L, 63L, 64L, 200L), fired);
+    }
+
+    @Test
+    public void shouldCatchUp_whenTheClockJumpsAhead() {
+        List<String> fired = new ArrayList<>();
+        timingWheel.schedule(Duration.ofNanos(5), () -> fired.add("first"));
+        timingWheel.schedule(Duration.ofNanos(90), () -> fired.add("second"));
+
+        clock.set(89);
+        timingWheel.advanceClock();
+        assertEquals(List.of("first"), fired);
+
+        clock.set(1000);
+        timingWheel.advanceClock();
+        assertEquals(List.of("first", "second"), fired);
+    }
+
+    @Test
+    public void shouldNotRunCancelledTimeouts() {
+        List<String> fired = new ArrayList<>();
+        TimingWheel.Timeout cancelled = timingWheel.schedule(Duration.ofNanos(20), () -> fired.add("cancelled"));
+        timingWheel.schedule(Duration.ofNanos(20), () -> fired.add("kept"));
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+
+        clock.set(20);
+        timingWheel.advanceClock();
+        assertEquals(List.of("kept"), fired);
+    }
+
+    @Test
+    public void shouldKeepTicking_afterTheExecutorRejectsABatch() throws InterruptedException {
+        AtomicInteger submissions = new AtomicInteger();
+        Executor rejectFirstBatch = task -> {
+            if (submissions.getAndIncrement() == 0)
+                throw new RejectedExecutionException("rejected first batch");
+            task.run();
+        };
+        CountDownLatch fired = new CountDownLatch(1);
+        try (TimingWheel startedWheel = new TimingWheel(Duration.ofMillis(1), rejectFirstBatch).start()) {
+            startedWheel.schedule(Duration.ofMillis(5), () -> {
+            });
+            startedWheel.schedule(Duration.ofMillis(50), fired::countDown);
+            assertTrue(fired.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void shouldIsolateFailingTasks_whenRunningImmediately() {
+        List<String> fired = new ArrayList<>();
+        timingWheel.schedule(Duration.ZERO, () -> {
+            throw new IllegalStateException("task failed");
+        });
+        timingWheel.schedule(Duration.ZERO, () -> fired.add("next"));
+        assertEquals(List.of("next"), fired);
+    }
+
+    @Test
+    public void shouldRunImmediately_ifDelayIsNotPositive() {
+        List<String> fired = new ArrayList<>();
+        timingWheel.schedule(Duration.ZERO, () -> fired.add("now"));
+        timingWheel.schedule(Duration.ofDays(-365L * 400), () -> fired.add("long ago"));
+        assertEquals(List.of("now", "long ago"), fired);
+    }
+}
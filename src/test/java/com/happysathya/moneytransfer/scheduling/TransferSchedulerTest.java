@@ -0,0 +1,228 @@
+package com.happysathya.moneytransfer.scheduling;
+
+import com.happysathya.moneytransfer.domain.Account;
+import com.happysathya.moneytransfer.domain.Account.AccountBuilder;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TransferSchedulerTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2019-01-31T09:00:00Z"));
+    private final TimingWheel timingWheel = new TimingWheel(Duration.ofSeconds(1), 64, 16, Runnable::run,
+            () -> Duration.between(Instant.EPOCH, clock.instant()).toNanos());
+    private final TransferScheduler transferScheduler = new TransferScheduler(timingWheel, clock, 2, Duration.ofMinutes(10));
+
+    private final Account account1 = new AccountBuilder()
+            .setAccountHolderName("ZZZ")
+            .setBalance(new BigDecimal(100.00))
+            .build();
+    private final Account account2 = new AccountBuilder()
+            .setAccountHolderName("YYY")
+            .setBalance(new BigDecimal(0))
+            .build();
+
+    @Test
+    public void shouldTransferOnce_whenExecutionTimeIsReached() {
+        ScheduledTransfer scheduledTransfer = transferScheduler.schedule(account1, account2, new BigDecimal(30.00),
+                Instant.parse("2019-01-31T12:00:00Z"), null);
+
+        advanceTo("2019-01-31T11:59:59Z");
+        assertEquals(0, account2.getBalance().compareTo(new BigDecimal(0)));
+
+        advanceTo("2019-01-31T12:00:00Z");
+        assertEquals(0, account1.getBalance().compareTo(new BigDecimal(70.00)));
+        assertEquals(0, account2.getBalance().compareTo(new BigDecimal(30.00)));
+        assertEquals(ScheduledTransfer.Status.COMPLETED, scheduledTransfer.getStatus());
+    }
+
+    @Test
+    public void shouldRepeatMonthly_withoutDriftingAfterShortMonths() {
+        ScheduledTransfer scheduledTransfer = transferScheduler.schedule(account1, account2, new BigDecimal(10.00),
+                Instant.parse("2019-01-31T12:00:00Z"), Period.ofMonths(1));
+
+        advanceTo("2019-01-31T12:00:00Z");
+        assertEquals(Instant.parse("2019-02-28T12:00:00Z"), scheduledTransfer.getNextExecutionAt());
+        advanceTo("2019-02-28T12:00:00Z");
+        assertEquals(Instant.parse("2019-03-31T12:00:00Z"), scheduledTransfer.getNextExecutionAt());
+        advanceTo("2019-03-31T12:00:00Z");
+
+        assertEquals(0, account2.getBalance().compareTo(new BigDecimal(30.00)));
+        assertEquals(ScheduledTransfer.Status.SCHEDULED, scheduledTransfer.getStatus());
+    }
+
+    @Test
+    public void shouldRetryOnInsufficientFunds_andFailAfterMaxAttempts() {
+        ScheduledTransfer scheduledTransfer = transferScheduler.schedule(account1, account2, new BigDecimal(150.00),
+                Instant.parse("2019-01-31T12:00:00Z"), null);
+
+        advanceTo("2019-01-31T12:00:00Z");
+        assertEquals(1, scheduledTransfer.getAttempts());
+        assertEquals(ScheduledTransfer.Status.SCHEDULED, scheduledTransfer.getStatus());
+        assertEquals("Withdrawal amount 150.00 is greater than balance 100.00", scheduledTransfer.getLastError());
+
+        advanceTo("2019-01-31T12:10:00Z");
+        assertEquals(2, scheduledTransfer.getAttempts());
+        assertEquals(ScheduledTransfer.Status.FAILED, scheduledTransfer.getStatus());
+        assertEquals(0, account1.getBalance().compareTo(new BigDecimal(100.00)));
+    }
+
+    @Test
+    public void shouldSucceedOnRetry_ifFundsArriveInTime() {
+        ScheduledTransfer scheduledTransfer = transferScheduler.schedule(account1, account2, new BigDecimal(150.00),
+                Instant.parse("2019-01-31T12:00:00Z"), null);
+
+        advanceTo("2019-01-31T12:00:00Z");
+        account1.depositAmount(new BigDecimal(50.00));
+        advanceTo("2019-01-31T12:10:00Z");
+
+        assertEquals(ScheduledTransfer.Status.COMPLETED, scheduledTransfer.getStatus());
+        assertEquals(0, account2.getBalance().compareTo(new BigDecimal(150.00)));
+    }
+
+    @Test
+    public void shouldNotTransfer_onceCancelled() {
+        ScheduledTransfer scheduledTransfer = transferScheduler.schedule(account1, account2, new BigDecimal(30.00),
+                Instant.parse("2019-01-31T12:00:00Z"), Period.ofDays(1));
+
+        transferScheduler.cancel(scheduledTransfer.getScheduledTransferId());
+        advanceTo("2019-02-02T12:00:00Z");
+
+        assertEquals(ScheduledTransfer.Status.CANCELLED, scheduledTransfer.getStatus());
+        assertEquals(0, account1.getBalance().compareTo(new BigDecimal(100.00)));
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                transferScheduler.cancel(scheduledTransfer.getScheduledTransferId()));
+        assertEquals(String.format("Scheduled transfer %s does not exist", scheduledTransfer.getScheduledTransferId()),
+                exception.getMessage());
+    }
+
+    @Test
+    public void shouldShowRetryTime_asNextExecutionWhileRetryIsPending() {
+        ScheduledTransfer scheduledTransfer = transferScheduler.schedule(account1, account2, new BigDecimal(150.00),
+                Instant.parse("2019-01-31T12:00:00Z"), null);
+
+        advanceTo("2019-01-31T12:00:05Z");
+        assertEquals(Instant.parse("2019-01-31T12:10:05Z"), scheduledTransfer.getNextExecutionAt());
+    }
+
+    @Test
+    public void shouldSkipMissedOccurrences_insteadOfReplayingThem() {
+        ScheduledTransfer scheduledTransfer = transferScheduler.schedule(account1, account2, new BigDecimal(1.00),
+                Instant.parse("2019-01-31T12:00:00Z"), Period.ofDays(1));
+
+        advanceTo("2019-02-10T13:00:00Z");
+
+        assertEquals(0, account2.getBalance().compareTo(new BigDecimal(1.00)));
+        assertEquals(Instant.parse("2019-02-11T12:00:00Z"), scheduledTransfer.getNextExecutionAt());
+    }
+
+    @Test
+    public void shouldRejectRecurringTransfersStartingInThePast_andTransfersTooFarAhead() {
+        IllegalStateException exception1 = assertThrows(IllegalStateException.class, () ->
+                transferScheduler.schedule(account1, account2, new BigDecimal(1.00), Instant.parse("2019-01-01T00:00:00Z"), Period.ofDays(1)));
+        assertEquals("Recurring transfer cannot start in the past", exception1.getMessage());
+
+        IllegalStateException exception2 = assertThrows(IllegalStateException.class, () ->
+                transferScheduler.schedule(account1, account2, new BigDecimal(1.00), Instant.parse("2400-01-01T00:00:00Z"), null));
+        assertEquals("Scheduled transfer cannot run more than 100 years ahead", exception2.getMessage());
+
+        assertThrows(IllegalStateException.class, () ->
+                transferScheduler.schedule(account1, account2, new BigDecimal(1.00), null, Period.ofYears(500)));
+        assertEquals(List.of(), transferScheduler.findByAccount(account1));
+    }
+
+    @Test
+    public void finishedTransfers_ShouldStayVisible_andCancelledOnesShouldBeEvicted() {
+        ScheduledTransfer completed = transferScheduler.schedule(account1, account2, new BigDecimal(1.00),
+                Instant.parse("2019-01-31T12:00:00Z"), null);
+        ScheduledTransfer failed = transferScheduler.schedule(account1, account2, new BigDecimal(500.00),
+                Instant.parse("2019-01-31T12:00:00Z"), null);
+        ScheduledTransfer cancelled = transferScheduler.schedule(account1, account2, new BigDecimal(1.00),
+                Instant.parse("2019-02-28T12:00:00Z"), null);
+
+        advanceTo("2019-01-31T12:00:00Z");
+        advanceTo("2019-01-31T12:10:00Z");
+        transferScheduler.cancel(cancelled.getScheduledTransferId());
+
+        assertEquals(Set.of(completed, failed), Set.copyOf(transferScheduler.findByAccount(account1)));
+        assertEquals(ScheduledTransfer.Status.FAILED, transferScheduler.find(failed.getScheduledTransferId()).get().getStatus());
+        assertEquals("Withdrawal amount 500.00 is greater than balance 99.00", failed.getLastError());
+        assertEquals(Optional.empty(), transferScheduler.find(cancelled.getScheduledTransferId()));
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                transferScheduler.cancel(completed.getScheduledTransferId()));
+        assertEquals(String.format("Scheduled transfer %s is already COMPLETED", completed.getScheduledTransferId()),
+                exception.getMessage());
+    }
+
+    @Test
+    public void finishedTransferHistory_ShouldBeBoundedPerAccount() {
+        ScheduledTransfer oldest = transferScheduler.schedule(account1, account2, new BigDecimal(0.01),
+                Instant.parse("2019-01-31T12:00:00Z"), null);
+        advanceTo("2019-01-31T12:00:00Z");
+        for (int i = 0; i < 100; i++)
+            transferScheduler.schedule(account1, account2, new BigDecimal(0.01), Instant.parse("2019-01-31T12:00:01Z"), null);
+        ScheduledTransfer pending = transferScheduler.schedule(account1, account2, new BigDecimal(0.01),
+                Instant.parse("2019-02-28T12:00:00Z"), null);
+        advanceTo("2019-01-31T12:00:01Z");
+
+        List<ScheduledTransfer> accountTransfers = transferScheduler.findByAccount(account1);
+        assertEquals(101, accountTransfers.size());
+        assertTrue(accountTransfers.contains(pending));
+        assertEquals(Optional.empty(), transferScheduler.find(oldest.getScheduledTransferId()));
+    }
+
+    @Test
+    public void shouldRunOneOffTransfersFarInThePast_immediately() {
+        ScheduledTransfer scheduledTransfer = transferScheduler.schedule(account1, account2, new BigDecimal(30.00),
+                Instant.parse("1700-01-01T00:00:00Z"), null);
+
+        assertEquals(ScheduledTransfer.Status.COMPLETED, scheduledTransfer.getStatus());
+        assertEquals(0, account2.getBalance().compareTo(new BigDecimal(30.00)));
+    }
+
+    private void advanceTo(String instant) {
+        clock.setInstant(Instant.parse(instant));
+        timingWheel.advanceClock();
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        private void setInstant(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}